@@ -0,0 +1,327 @@
+package com.rusteron.replay;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared result schema for one replay run, written by the Java harness as a
+ * {@code .properties} file and read back by {@link ComparisonReport}.
+ *
+ * The Rust binaries only print to stdout, so {@link #load(Path)} also accepts
+ * a captured console log and fills in whatever the {@code === RESULTS ===}
+ * output contains. Missing values are kept as -1 and reported as n/a.
+ */
+public class BenchmarkResult {
+    static final String SCHEMA_VERSION = "1";
+    static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+    static final List<String> CLIENTS = List.of("java", "rust");
+    static final List<String> MODES = List.of("embedded", "external");
+
+    String client = "unknown";
+    String mode = "unknown";
+
+    // Config
+    String recordingChannel = "";
+    int recordingStreamId = -1;
+    String replayChannel = "";
+    int replayStreamId = -1;
+    long messageCount = -1;
+    int messageSize = -1;
+    int maxEmptyPolls = -1;
+    int pollFragmentLimit = -1;
+
+    // Outcome
+    long publishedCount = -1;
+    long replayedCount = -1;
+    long firstValue = -1;
+    long lastValue = -1;
+    long recordingSize = -1;
+    long stopPosition = -1;
+    long publishTimeNs = -1;
+    // Polling start to last received fragment, so the idle tail before giving up is excluded
+    long replayActiveTimeNs = -1;
+
+    // Offer latency in ns, indexed like PERCENTILES
+    final long[] offerLatencyNs = {-1, -1, -1, -1, -1};
+
+    public BenchmarkResult() {
+    }
+
+    public BenchmarkResult(String client, String mode) {
+        this.client = client;
+        this.mode = mode;
+    }
+
+    /**
+     * Result of a Java harness run; call {@link #config} before writing it.
+     */
+    static BenchmarkResult javaRun(String mode, long publishedCount, MessageCounter counter, long recordingSize,
+                                   long publishTimeNs, long replayActiveTimeNs, LatencyRecorder offerLatency) {
+        BenchmarkResult result = new BenchmarkResult("java", mode);
+        result.publishedCount = publishedCount;
+        result.replayedCount = counter.messageCount;
+        result.firstValue = counter.firstValue;
+        result.lastValue = counter.lastValue;
+        result.stopPosition = counter.lastPosition;
+        result.recordingSize = recordingSize;
+        result.publishTimeNs = publishTimeNs;
+        result.replayActiveTimeNs = replayActiveTimeNs;
+        result.offerLatency(offerLatency);
+        return result;
+    }
+
+    BenchmarkResult config(String recordingChannel, int recordingStreamId, String replayChannel, int replayStreamId,
+                           long messageCount, int messageSize, int maxEmptyPolls, int pollFragmentLimit) {
+        this.recordingChannel = recordingChannel;
+        this.recordingStreamId = recordingStreamId;
+        this.replayChannel = replayChannel;
+        this.replayStreamId = replayStreamId;
+        this.messageCount = messageCount;
+        this.messageSize = messageSize;
+        this.maxEmptyPolls = maxEmptyPolls;
+        this.pollFragmentLimit = pollFragmentLimit;
+        return this;
+    }
+
+    public double publishThroughput() {
+        return rate(publishedCount, publishTimeNs);
+    }
+
+    public double replayThroughput() {
+        return rate(replayedCount, replayActiveTimeNs);
+    }
+
+    public double replayEfficiency() {
+        return publishedCount > 0 && replayedCount >= 0 ? (replayedCount * 100.0) / publishedCount : -1;
+    }
+
+    public void offerLatency(LatencyRecorder recorder) {
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            offerLatencyNs[i] = recorder.percentile(PERCENTILES[i]);
+        }
+    }
+
+    /**
+     * Output path for a harness run: first program argument if given, otherwise
+     * {@code target/results/<client>-<mode>.properties}.
+     */
+    static Path outputPath(String[] args, String client, String mode) {
+        if (args.length > 0) {
+            return Paths.get(args[0]);
+        }
+        return Paths.get("target", "results", client + "-" + mode + ".properties");
+    }
+
+    /**
+     * Writes to {@link #outputPath} for this run and returns the path used.
+     */
+    Path writeForRun(String[] args) throws IOException {
+        Path path = outputPath(args, client, mode);
+        write(path);
+        return path;
+    }
+
+    public void write(Path path) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("schema.version", SCHEMA_VERSION);
+        props.setProperty("client", client);
+        props.setProperty("mode", mode);
+        props.setProperty("config.recording.channel", recordingChannel);
+        props.setProperty("config.recording.stream.id", String.valueOf(recordingStreamId));
+        props.setProperty("config.replay.channel", replayChannel);
+        props.setProperty("config.replay.stream.id", String.valueOf(replayStreamId));
+        props.setProperty("config.message.count", String.valueOf(messageCount));
+        props.setProperty("config.message.size", String.valueOf(messageSize));
+        props.setProperty("config.max.empty.polls", String.valueOf(maxEmptyPolls));
+        props.setProperty("config.poll.fragment.limit", String.valueOf(pollFragmentLimit));
+        props.setProperty("published.count", String.valueOf(publishedCount));
+        props.setProperty("replayed.count", String.valueOf(replayedCount));
+        props.setProperty("first.value", String.valueOf(firstValue));
+        props.setProperty("last.value", String.valueOf(lastValue));
+        props.setProperty("recording.size", String.valueOf(recordingSize));
+        props.setProperty("stop.position", String.valueOf(stopPosition));
+        props.setProperty("publish.time.ns", String.valueOf(publishTimeNs));
+        props.setProperty("replay.active.time.ns", String.valueOf(replayActiveTimeNs));
+        // Derived values, written for readers of the raw file; recomputed on load
+        props.setProperty("publish.throughput.msgs.per.sec", String.format(Locale.ROOT, "%.1f", publishThroughput()));
+        props.setProperty("replay.throughput.msgs.per.sec", String.format(Locale.ROOT, "%.1f", replayThroughput()));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            props.setProperty("offer.latency." + percentileKey(PERCENTILES[i]) + ".ns",
+                String.valueOf(offerLatencyNs[i]));
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            props.store(writer, "Aeron archive replay benchmark result");
+        }
+    }
+
+    /**
+     * Loads either a {@code .properties} result file or a captured console log.
+     * Fails if the client or archive mode cannot be determined.
+     */
+    public static BenchmarkResult load(Path path) throws IOException {
+        BenchmarkResult result = path.getFileName().toString().endsWith(".properties")
+            ? readProperties(path)
+            : parseConsoleOutput(Files.readAllLines(path, StandardCharsets.UTF_8));
+        if (!CLIENTS.contains(result.client)) {
+            throw new IOException("Unknown client '" + result.client + "' in " + path + ", expected one of " + CLIENTS);
+        }
+        if (!MODES.contains(result.mode)) {
+            throw new IOException("Unknown mode '" + result.mode + "' in " + path + ", expected one of " + MODES);
+        }
+        return result;
+    }
+
+    static BenchmarkResult readProperties(Path path) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        String version = props.getProperty("schema.version");
+        if (!SCHEMA_VERSION.equals(version)) {
+            throw new IOException("Unsupported schema version " + version + " in " + path);
+        }
+
+        BenchmarkResult result = new BenchmarkResult(
+            props.getProperty("client", "unknown"), props.getProperty("mode", "unknown"));
+        result.recordingChannel = props.getProperty("config.recording.channel", "");
+        result.recordingStreamId = (int) longProperty(props, "config.recording.stream.id");
+        result.replayChannel = props.getProperty("config.replay.channel", "");
+        result.replayStreamId = (int) longProperty(props, "config.replay.stream.id");
+        result.messageCount = longProperty(props, "config.message.count");
+        result.messageSize = (int) longProperty(props, "config.message.size");
+        result.maxEmptyPolls = (int) longProperty(props, "config.max.empty.polls");
+        result.pollFragmentLimit = (int) longProperty(props, "config.poll.fragment.limit");
+        result.publishedCount = longProperty(props, "published.count");
+        result.replayedCount = longProperty(props, "replayed.count");
+        result.firstValue = longProperty(props, "first.value");
+        result.lastValue = longProperty(props, "last.value");
+        result.recordingSize = longProperty(props, "recording.size");
+        result.stopPosition = longProperty(props, "stop.position");
+        result.publishTimeNs = longProperty(props, "publish.time.ns");
+        result.replayActiveTimeNs = longProperty(props, "replay.active.time.ns");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            result.offerLatencyNs[i] = longProperty(props, "offer.latency." + percentileKey(PERCENTILES[i]) + ".ns");
+        }
+        return result;
+    }
+
+    private static final Pattern HEADER = Pattern.compile("=== Aeron Archive Replay Test - (.+) ===");
+    private static final Pattern RECORDING_ON = Pattern.compile("STEP \\d+: Starting recording on (.+):(\\d+)");
+    private static final Pattern REPLAY_ON = Pattern.compile("STEP \\d+: Setting up replay on stream (\\d+)");
+    private static final Pattern MESSAGE_SIZE = Pattern.compile("^\\s+Message size: (\\d+) bytes");
+    private static final Pattern REPLAY_CHANNEL = Pattern.compile("^\\s+Replay channel: (\\S+)");
+    private static final Pattern MAX_EMPTY_POLLS = Pattern.compile("^\\s+Max empty polls: (\\d+)");
+    private static final Pattern POLL_FRAGMENT_LIMIT = Pattern.compile("^\\s+Poll fragment limit: (\\d+)");
+    private static final Pattern PUBLISHING = Pattern.compile("STEP \\d+: Publishing (\\d+) messages");
+    private static final Pattern PUBLISHED_IN = Pattern.compile("^Published (\\d+) messages in (.+)$");
+    private static final Pattern PUBLISHED = Pattern.compile("^Published: (\\d+) messages");
+    private static final Pattern REPLAYED = Pattern.compile("^Replayed:\\s+(\\d+) messages");
+    private static final Pattern FIRST_VALUE = Pattern.compile("^First value: (-?\\d+)");
+    private static final Pattern LAST_VALUE = Pattern.compile("^Last value:\\s+(-?\\d+)");
+    private static final Pattern SIZE = Pattern.compile("^\\s+Size: (\\d+) bytes");
+    private static final Pattern STOP_POSITION = Pattern.compile("^Stop position: (-?\\d+)");
+    private static final Pattern REPLAY_ACTIVE_TIME = Pattern.compile("^Replay active time: (\\S+)");
+    private static final Pattern DURATION = Pattern.compile("([0-9.]+)\\s*(ns|\u00b5s|us|ms|s)");
+
+    /**
+     * Parses the stdout of {@code embedded_replay}/{@code external_replay} or of the
+     * Java harness. Durations use Rust's {@code Duration} debug format, e.g. {@code 4.81s}
+     * or {@code 812.3ms}; the Java {@code 4812 ms} form is accepted too.
+     */
+    static BenchmarkResult parseConsoleOutput(List<String> lines) {
+        BenchmarkResult result = new BenchmarkResult();
+        for (String line : lines) {
+            Matcher m;
+            if ((m = HEADER.matcher(line)).find()) {
+                String title = m.group(1).toLowerCase();
+                result.client = title.contains("java") ? "java" : "rust";
+                result.mode = title.contains("embedded") ? "embedded"
+                    : title.contains("external") ? "external" : title;
+            } else if ((m = RECORDING_ON.matcher(line)).find()) {
+                result.recordingChannel = m.group(1);
+                result.recordingStreamId = Integer.parseInt(m.group(2));
+            } else if ((m = REPLAY_ON.matcher(line)).find()) {
+                result.replayStreamId = Integer.parseInt(m.group(1));
+            } else if ((m = MESSAGE_SIZE.matcher(line)).find()) {
+                result.messageSize = Integer.parseInt(m.group(1));
+            } else if ((m = REPLAY_CHANNEL.matcher(line)).find()) {
+                result.replayChannel = m.group(1);
+            } else if ((m = MAX_EMPTY_POLLS.matcher(line)).find()) {
+                result.maxEmptyPolls = Integer.parseInt(m.group(1));
+            } else if ((m = POLL_FRAGMENT_LIMIT.matcher(line)).find()) {
+                result.pollFragmentLimit = Integer.parseInt(m.group(1));
+            } else if ((m = PUBLISHING.matcher(line)).find()) {
+                result.messageCount = Long.parseLong(m.group(1));
+            } else if ((m = PUBLISHED_IN.matcher(line)).find()) {
+                result.publishTimeNs = parseDurationNs(m.group(2));
+            } else if ((m = PUBLISHED.matcher(line)).find()) {
+                result.publishedCount = Long.parseLong(m.group(1));
+            } else if ((m = REPLAYED.matcher(line)).find()) {
+                result.replayedCount = Long.parseLong(m.group(1));
+            } else if ((m = FIRST_VALUE.matcher(line)).find()) {
+                result.firstValue = Long.parseLong(m.group(1));
+            } else if ((m = LAST_VALUE.matcher(line)).find()) {
+                result.lastValue = Long.parseLong(m.group(1));
+            } else if ((m = SIZE.matcher(line)).find()) {
+                result.recordingSize = Long.parseLong(m.group(1));
+            } else if ((m = STOP_POSITION.matcher(line)).find()) {
+                result.stopPosition = Long.parseLong(m.group(1));
+            } else if ((m = REPLAY_ACTIVE_TIME.matcher(line)).find()) {
+                result.replayActiveTimeNs = parseDurationNs(m.group(1));
+            }
+        }
+        return result;
+    }
+
+    static long parseDurationNs(String text) {
+        Matcher m = DURATION.matcher(text.trim());
+        if (!m.matches()) {
+            return -1;
+        }
+        double value = Double.parseDouble(m.group(1));
+        switch (m.group(2)) {
+            case "ns":
+                return (long) value;
+            case "\u00b5s":
+            case "us":
+                return (long) (value * 1_000);
+            case "ms":
+                return (long) (value * 1_000_000);
+            default:
+                return (long) (value * 1_000_000_000);
+        }
+    }
+
+    static String percentileKey(double percentile) {
+        if (percentile >= 100) {
+            return "max";
+        }
+        return "p" + (percentile == Math.rint(percentile)
+            ? String.valueOf((long) percentile)
+            : String.valueOf(percentile).replace(".", ""));
+    }
+
+    private static double rate(long count, long nanos) {
+        return count >= 0 && nanos > 0 ? count * 1_000_000_000.0 / nanos : -1;
+    }
+
+    private static long longProperty(Properties props, String key) {
+        String value = props.getProperty(key);
+        return value == null || value.isEmpty() ? -1 : Long.parseLong(value.trim());
+    }
+}
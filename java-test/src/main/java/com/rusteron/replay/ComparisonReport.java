@@ -0,0 +1,213 @@
+package com.rusteron.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Merges Java and Rust runs into a side-by-side Markdown comparison, one table
+ * per archive mode (embedded/external).
+ *
+ * Usage: {@code ComparisonReport [-o report.md] <result>...} where each result
+ * is a Java {@code .properties} file or a captured Rust console log.
+ * Deltas are Rust relative to Java. Offer latency percentiles are left out:
+ * only the Java harness measures them, in a separate unrecorded pass, so
+ * there is no like-for-like Rust number to compare against.
+ */
+public class ComparisonReport {
+    private static final String NA = "n/a";
+
+    private record Metric(String name, ToDoubleFunction<BenchmarkResult> value, int decimals) {
+    }
+
+    private record Setting(String name, Function<BenchmarkResult, String> value) {
+    }
+
+    // Settings a console log does not print stay n/a rather than being assumed
+    private static final List<Setting> SETTINGS = List.of(
+        new Setting("Message count", r -> known(r.messageCount)),
+        new Setting("Message size (bytes)", r -> known(r.messageSize)),
+        new Setting("Recording channel", r -> known(r.recordingChannel)),
+        new Setting("Recording stream", r -> known(r.recordingStreamId)),
+        new Setting("Replay channel", r -> known(r.replayChannel)),
+        new Setting("Replay stream", r -> known(r.replayStreamId)),
+        new Setting("Max empty polls", r -> known(r.maxEmptyPolls)),
+        new Setting("Poll fragment limit", r -> known(r.pollFragmentLimit)));
+
+    private static final List<Metric> METRICS = buildMetrics();
+
+    private static List<Metric> buildMetrics() {
+        List<Metric> metrics = new ArrayList<>();
+        metrics.add(new Metric("Published (msgs)", r -> r.publishedCount, 0));
+        metrics.add(new Metric("Replayed (msgs)", r -> r.replayedCount, 0));
+        metrics.add(new Metric("Replay efficiency (%)", BenchmarkResult::replayEfficiency, 4));
+        metrics.add(new Metric("Last value", r -> r.lastValue, 0));
+        metrics.add(new Metric("Recording size (bytes)", r -> r.recordingSize, 0));
+        metrics.add(new Metric("Stop position", r -> r.stopPosition, 0));
+        metrics.add(new Metric("Publish time (ms)", r -> millis(r.publishTimeNs), 1));
+        metrics.add(new Metric("Replay active time (ms)", r -> millis(r.replayActiveTimeNs), 1));
+        metrics.add(new Metric("Publish throughput (msgs/s)", BenchmarkResult::publishThroughput, 0));
+        metrics.add(new Metric("Replay throughput (msgs/s)", BenchmarkResult::replayThroughput, 0));
+        return metrics;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = null;
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-o".equals(args[i]) && i + 1 < args.length) {
+                output = Paths.get(args[++i]);
+            } else {
+                inputs.add(Paths.get(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: ComparisonReport [-o report.md] <result.properties|rust-output.txt>...");
+            System.exit(1);
+        }
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Path input : inputs) {
+            results.add(BenchmarkResult.load(input));
+        }
+
+        String report = render(results);
+        if (output != null) {
+            Files.writeString(output, report, StandardCharsets.UTF_8);
+            System.out.println("Report written to " + output);
+        } else {
+            System.out.print(report);
+        }
+    }
+
+    static String render(List<BenchmarkResult> results) {
+        Map<String, BenchmarkResult> javaByMode = new TreeMap<>();
+        Map<String, BenchmarkResult> rustByMode = new TreeMap<>();
+        for (BenchmarkResult result : results) {
+            // Client and mode were validated by BenchmarkResult.load
+            Map<String, BenchmarkResult> byMode = "java".equals(result.client) ? javaByMode : rustByMode;
+            // Last run for a client/mode wins, matching the order given on the command line
+            if (byMode.put(result.mode, result) != null) {
+                System.err.println("Warning: more than one " + result.client + " " + result.mode
+                    + " result given, using the last one");
+            }
+        }
+
+        Set<String> modes = new TreeSet<>(javaByMode.keySet());
+        modes.addAll(rustByMode.keySet());
+
+        StringBuilder sb = new StringBuilder("# Java vs Rust Replay Comparison\n");
+        for (String mode : modes) {
+            appendMode(sb, mode, javaByMode.get(mode), rustByMode.get(mode));
+        }
+        return sb.toString();
+    }
+
+    private static void appendMode(StringBuilder sb, String mode, BenchmarkResult java, BenchmarkResult rust) {
+        sb.append("\n## ").append(Character.toUpperCase(mode.charAt(0))).append(mode.substring(1))
+            .append(" Archive\n\n");
+
+        sb.append("### Config\n\n");
+        sb.append("| Setting | Java | Rust | Match |\n");
+        sb.append("|---|---|---|---|\n");
+        boolean mismatch = false;
+        boolean unchecked = false;
+        for (Setting setting : SETTINGS) {
+            String javaValue = java == null ? NA : setting.value().apply(java);
+            String rustValue = rust == null ? NA : setting.value().apply(rust);
+            boolean checked = !NA.equals(javaValue) && !NA.equals(rustValue);
+            boolean same = checked && javaValue.equals(rustValue);
+            mismatch |= checked && !same;
+            unchecked |= !checked;
+            sb.append("| ").append(setting.name())
+                .append(" | ").append(javaValue)
+                .append(" | ").append(rustValue)
+                .append(" | ").append(!checked ? NA : same ? "yes" : "**no**")
+                .append(" |\n");
+        }
+        if (mismatch) {
+            sb.append("\n> Config differs between clients; deltas below are not like-for-like.\n");
+        }
+        if (unchecked) {
+            sb.append("\n> Settings marked n/a were not reported by one of the runs and could not be checked.\n");
+        }
+        if (java != null && rust != null) {
+            // Loop behaviour that is not captured by a single setting
+            sb.append("\n> The replay loops also differ: Rust stops once it has every message,")
+                .append(" resets its empty-poll count on progress and yields between empty polls,")
+                .append(" while Java spins until that many consecutive polls are empty.");
+            if ("embedded".equals(mode)) {
+                sb.append(" The embedded Rust binary also prints a line per non-empty poll inside the timed loop.");
+            }
+            sb.append("\n");
+        }
+
+        sb.append("\n### Metrics\n\n");
+        sb.append("| Metric | Java | Rust | Delta | Delta % |\n");
+        sb.append("|---|---:|---:|---:|---:|\n");
+        for (Metric metric : METRICS) {
+            double javaValue = java == null ? -1 : metric.value().applyAsDouble(java);
+            double rustValue = rust == null ? -1 : metric.value().applyAsDouble(rust);
+            sb.append("| ").append(metric.name())
+                .append(" | ").append(format(javaValue, metric.decimals()))
+                .append(" | ").append(format(rustValue, metric.decimals()))
+                .append(" | ").append(delta(javaValue, rustValue, metric.decimals()))
+                .append(" | ").append(deltaPercent(javaValue, rustValue))
+                .append(" |\n");
+        }
+
+        sb.append("\nReplay active time runs from the first poll to the last received fragment;")
+            .append(" replay throughput is based on it.\n");
+    }
+
+    private static String format(double value, int decimals) {
+        return value < 0 ? NA : String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    private static String delta(double javaValue, double rustValue, int decimals) {
+        if (javaValue < 0 || rustValue < 0) {
+            return NA;
+        }
+        return signed(rustValue - javaValue, decimals);
+    }
+
+    private static String deltaPercent(double javaValue, double rustValue) {
+        if (javaValue <= 0 || rustValue < 0) {
+            return NA;
+        }
+        return signed((rustValue - javaValue) * 100.0 / javaValue, 2) + "%";
+    }
+
+    // Rounds before picking the sign so tiny deltas print as 0 rather than -0 or +0.00
+    private static String signed(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        double rounded = Math.round(value * scale) / scale;
+        if (rounded == 0) {
+            return String.format(Locale.ROOT, "%." + decimals + "f", 0.0);
+        }
+        return String.format(Locale.ROOT, "%+." + decimals + "f", rounded);
+    }
+
+    private static String known(long value) {
+        return value < 0 ? NA : String.valueOf(value);
+    }
+
+    private static String known(String value) {
+        return value == null || value.isEmpty() ? NA : value;
+    }
+
+    private static double millis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1_000_000.0;
+    }
+}
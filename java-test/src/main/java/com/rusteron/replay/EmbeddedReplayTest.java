@@ -6,13 +6,11 @@ import io.aeron.archive.client.*;
 import io.aeron.archive.codecs.SourceLocation;
 import io.aeron.archive.client.ArchiveException;
 import io.aeron.driver.*;
-import io.aeron.logbuffer.FragmentHandler;
-import io.aeron.logbuffer.Header;
-import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -21,9 +19,12 @@ public class EmbeddedReplayTest {
     private static final String REPLAY_CHANNEL = "aeron:ipc";
     private static final int RECORDING_STREAM_ID = 16;
     private static final int REPLAY_STREAM_ID = 17;
+    private static final String LATENCY_CHANNEL = "aeron:ipc";
+    private static final int LATENCY_STREAM_ID = 18;
     private static final int MESSAGE_COUNT = 1_000_000;
     private static final int MESSAGE_SIZE = 8; // 8 bytes per message
     private static final int MAX_EMPTY_POLLS = 10_000;
+    private static final int POLL_FRAGMENT_LIMIT = 256;
 
     public static void main(String[] args) {
         System.out.println("\n=== Aeron Archive Replay Test - Java Embedded ===\n");
@@ -201,12 +202,14 @@ public class EmbeddedReplayTest {
             startTime = System.nanoTime();
             
             int emptyPolls = 0;
+            long lastFragmentTime = -1;
             while (emptyPolls < MAX_EMPTY_POLLS) {
-                int fragments = subscription.poll(counter, 256);
+                int fragments = subscription.poll(counter, POLL_FRAGMENT_LIMIT);
                 if (fragments == 0) {
                     emptyPolls++;
                 } else {
                     emptyPolls = 0;
+                    lastFragmentTime = System.nanoTime();
                     if (counter.messageCount == 1) {
                         System.out.println("First replayed value: " + counter.firstValue);
                     }
@@ -217,6 +220,8 @@ public class EmbeddedReplayTest {
             }
 
             long replayTime = System.nanoTime() - startTime;
+            // Excludes the trailing empty polls, which dominate replayTime when replay stalls
+            long replayActiveTime = lastFragmentTime < 0 ? -1 : lastFragmentTime - startTime;
             
             if (counter.messageCount < MESSAGE_COUNT) {
                 System.out.println("\n\nReplay stopped after " + MAX_EMPTY_POLLS + " empty polls");
@@ -230,6 +235,12 @@ public class EmbeddedReplayTest {
                 // Replay may have already completed
             }
 
+            // Offer latency is timed in its own pass on an unrecorded stream so the
+            // timed publish loop above carries no per-message timing overhead
+            System.out.println("\nMeasuring offer latency on stream " + LATENCY_STREAM_ID + "...");
+            LatencyRecorder offerLatency = LatencyRecorder.measureOfferLatency(
+                aeron, LATENCY_CHANNEL, LATENCY_STREAM_ID, MESSAGE_COUNT, MESSAGE_SIZE);
+
             // Print results
             System.out.println("\n\n=== RESULTS ===");
             System.out.println("Published: " + MESSAGE_COUNT + " messages");
@@ -238,6 +249,11 @@ public class EmbeddedReplayTest {
             System.out.println("Last value:  " + counter.lastValue + " (expected " + (MESSAGE_COUNT - 1) + ")");
             System.out.println("Publish time: " + (publishTime / 1_000_000_000.0) + "s");
             System.out.println("Replay time:  " + (replayTime / 1_000_000.0) + "ms");
+            System.out.println("Replay active time: " +
+                (replayActiveTime < 0 ? "n/a" : (replayActiveTime / 1_000_000.0) + "ms"));
+            System.out.println("Stop position: " + counter.lastPosition);
+            System.out.println("Offer latency p50/p99/max: " + offerLatency.percentile(50) + "/" +
+                offerLatency.percentile(99) + "/" + offerLatency.percentile(100) + " ns");
             System.out.println("\nREPLAY EFFICIENCY: " + 
                 String.format("%.2f%%", (counter.messageCount * 100.0) / MESSAGE_COUNT));
 
@@ -247,24 +263,15 @@ public class EmbeddedReplayTest {
                     String.format("%.2f%%", (counter.messageCount * 100.0) / MESSAGE_COUNT) + ")");
             }
 
+            Path resultPath = BenchmarkResult.javaRun("embedded", MESSAGE_COUNT, counter, recordingSize.get(),
+                    publishTime, replayActiveTime, offerLatency)
+                .config(RECORDING_CHANNEL, RECORDING_STREAM_ID, REPLAY_CHANNEL, REPLAY_STREAM_ID,
+                    MESSAGE_COUNT, MESSAGE_SIZE, MAX_EMPTY_POLLS, POLL_FRAGMENT_LIMIT)
+                .writeForRun(args);
+            System.out.println("\nResult written to " + resultPath);
+
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
-
-    static class MessageCounter implements FragmentHandler {
-        long messageCount = 0;
-        long firstValue = -1;
-        long lastValue = -1;
-
-        @Override
-        public void onFragment(DirectBuffer buffer, int offset, int length, Header header) {
-            long value = buffer.getLong(offset);
-            if (firstValue == -1) {
-                firstValue = value;
-            }
-            lastValue = value;
-            messageCount++;
-        }
-    }
 }
\ No newline at end of file
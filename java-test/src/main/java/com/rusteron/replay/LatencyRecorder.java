@@ -0,0 +1,85 @@
+package com.rusteron.replay;
+
+import io.aeron.Aeron;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity recorder for per-message latency samples in nanoseconds.
+ * Samples are kept raw and sorted once at the end so the hot loop only pays
+ * for an array store.
+ */
+public class LatencyRecorder {
+    private final long[] samples;
+    private int count = 0;
+    private boolean sorted = false;
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+        // Pre-touch so page faults land here rather than in the measured loop
+        Arrays.fill(samples, -1);
+    }
+
+    /**
+     * Times {@code count} offers on a separate, unrecorded publication. A local
+     * subscription drains the stream so the pass measures offer cost rather
+     * than back pressure from a slow consumer.
+     */
+    public static LatencyRecorder measureOfferLatency(
+        Aeron aeron, String channel, int streamId, int count, int messageSize) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(count);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(messageSize));
+        FragmentHandler drain = (b, offset, length, header) -> {
+        };
+
+        try (Subscription subscription = aeron.addSubscription(channel, streamId);
+             Publication publication = aeron.addPublication(channel, streamId)) {
+            while (!publication.isConnected()) {
+                Thread.sleep(10);
+            }
+
+            for (long i = 0; i < count; i++) {
+                buffer.putLong(0, i);
+                long start = System.nanoTime();
+                while (publication.offer(buffer) < 0) {
+                    subscription.poll(drain, 256);
+                    Thread.yield();
+                }
+                recorder.record(System.nanoTime() - start);
+                subscription.poll(drain, 256);
+            }
+        }
+        return recorder;
+    }
+
+    public void record(long nanos) {
+        if (count < samples.length) {
+            samples[count++] = nanos;
+            sorted = false;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile, e.g. {@code percentile(99.9)}. Returns -1 when nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil((percentile / 100.0) * count);
+        return samples[Math.max(0, Math.min(count, rank) - 1)];
+    }
+}
@@ -0,0 +1,26 @@
+package com.rusteron.replay;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+/**
+ * Replay fragment handler shared by the embedded and external harnesses.
+ */
+class MessageCounter implements FragmentHandler {
+    long messageCount = 0;
+    long firstValue = -1;
+    long lastValue = -1;
+    long lastPosition = -1;
+
+    @Override
+    public void onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+        long value = buffer.getLong(offset);
+        if (firstValue == -1) {
+            firstValue = value;
+        }
+        lastValue = value;
+        lastPosition = header.position();
+        messageCount++;
+    }
+}
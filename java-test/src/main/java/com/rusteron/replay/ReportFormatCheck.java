@@ -0,0 +1,120 @@
+package com.rusteron.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guards the console-log parser against changes in the Rust output format.
+ * Parses a sample {@code embedded_replay} log, checks every field the report
+ * relies on, and renders it next to a Java result. Exits non-zero on failure.
+ */
+public class ReportFormatCheck {
+    // Mirrors the println! output of embedded_replay; durations use Rust Duration debug format
+    private static final List<String> RUST_EMBEDDED_LOG = List.of(
+        "=== Aeron Archive Replay Test - Embedded Archive ===",
+        "",
+        "Config:",
+        "  Message size: 8 bytes",
+        "  Replay channel: aeron:ipc",
+        "  Max empty polls: 10000",
+        "  Poll fragment limit: 100000",
+        "",
+        "Starting embedded archive media driver...",
+        "  Aeron dir: /tmp/embedded_aeron",
+        "  Archive dir: /tmp/embedded_archive",
+        "",
+        "STEP 1: Starting recording on aeron:ipc:16",
+        "Recording started (subscription ID: 1)",
+        "",
+        "STEP 2: Publishing 1000000 messages...",
+        ".......... connected!",
+        " done!",
+        "Published 1000000 messages in 4.812345678s",
+        "",
+        "STEP 3: Finding recording...",
+        "  Recording 0: 64000000 bytes",
+        "",
+        "Recording details:",
+        "  ID: 0",
+        "  Size: 64000000 bytes",
+        "  Expected: 64000000 bytes",
+        "  Bytes per message: 64",
+        "",
+        "STEP 4: Setting up replay on stream 17",
+        "Got 79 fragments",
+        "",
+        "",
+        "Replay stopped after 10001 empty polls",
+        "Received 79 messages so far",
+        "",
+        "",
+        "=== RESULTS ===",
+        "Published: 1000000 messages",
+        "Replayed:  79 messages",
+        "First value: 0 (expected 0)",
+        "Last value:  78 (expected 999999)",
+        "Publish time: 9.123456789s",
+        "Replay time:  812.5ms",
+        "Replay active time: 412.5\u00b5s",
+        "Stop position: 5056");
+
+    private static final List<String> FAILURES = new ArrayList<>();
+
+    public static void main(String[] args) {
+        BenchmarkResult rust = BenchmarkResult.parseConsoleOutput(RUST_EMBEDDED_LOG);
+        expect("client", "rust", rust.client);
+        expect("mode", "embedded", rust.mode);
+        expect("recording channel", "aeron:ipc", rust.recordingChannel);
+        expect("recording stream", 16L, rust.recordingStreamId);
+        expect("replay channel", "aeron:ipc", rust.replayChannel);
+        expect("replay stream", 17L, rust.replayStreamId);
+        expect("message count", 1_000_000L, rust.messageCount);
+        expect("message size", 8L, rust.messageSize);
+        expect("max empty polls", 10_000L, rust.maxEmptyPolls);
+        expect("poll fragment limit", 100_000L, rust.pollFragmentLimit);
+        expect("published", 1_000_000L, rust.publishedCount);
+        expect("replayed", 79L, rust.replayedCount);
+        expect("first value", 0L, rust.firstValue);
+        expect("last value", 78L, rust.lastValue);
+        expect("recording size", 64_000_000L, rust.recordingSize);
+        expect("stop position", 5056L, rust.stopPosition);
+        expect("publish time", 4_812_345_678L, rust.publishTimeNs);
+        expect("replay active time", 412_500L, rust.replayActiveTimeNs);
+
+        MessageCounter counter = new MessageCounter();
+        counter.messageCount = 1_000_000;
+        counter.firstValue = 0;
+        counter.lastValue = 999_999;
+        counter.lastPosition = 64_000_000;
+        BenchmarkResult java = BenchmarkResult.javaRun("embedded", 1_000_000, counter, 64_000_000,
+                2_000_000_000L, 300_000_000L, new LatencyRecorder(0))
+            .config("aeron:ipc", 16, "aeron:ipc", 17, 1_000_000, 8, 10_000, 256);
+
+        String report = ComparisonReport.render(List.of(java, rust));
+        expectContains(report, "| Replayed (msgs) | 1000000 | 79 | -999921 | -99.99% |");
+        expectContains(report, "| Stop position | 64000000 | 5056 | -63994944 | -99.99% |");
+        expectContains(report, "| Message size (bytes) | 8 | 8 | yes |");
+        expectContains(report, "| Poll fragment limit | 256 | 100000 | **no** |");
+
+        if (FAILURES.isEmpty()) {
+            System.out.println("Report format check passed");
+        } else {
+            FAILURES.forEach(System.err::println);
+            System.err.println("\nRendered report:\n" + report);
+            System.exit(1);
+        }
+    }
+
+    private static void expect(String field, Object expected, Object actual) {
+        Object normalised = actual instanceof Integer ? Long.valueOf((Integer) actual) : actual;
+        if (!expected.equals(normalised)) {
+            FAILURES.add("FAIL " + field + ": expected " + expected + " but parsed " + actual);
+        }
+    }
+
+    private static void expectContains(String report, String row) {
+        if (!report.contains(row)) {
+            FAILURES.add("FAIL report is missing row: " + row);
+        }
+    }
+}
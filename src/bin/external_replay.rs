@@ -9,9 +9,17 @@ const CHANNEL: &str = "aeron:ipc";
 const STREAM_ID: i32 = 16;
 const REPLAY_STREAM_ID: i32 = 17;
 const MESSAGE_COUNT: i64 = 1_000_000;
+const MESSAGE_SIZE: usize = std::mem::size_of::<i64>();
+const MAX_EMPTY_POLLS: i32 = 10_000;
+const POLL_FRAGMENT_LIMIT: usize = 100_000;
 
 fn main() -> Result<()> {
     println!("=== Aeron Archive Replay Test - External Archive ===\n");
+    println!("Config:");
+    println!("  Message size: {} bytes", MESSAGE_SIZE);
+    println!("  Replay channel: {}", CHANNEL);
+    println!("  Max empty polls: {}", MAX_EMPTY_POLLS);
+    println!("  Poll fragment limit: {}\n", POLL_FRAGMENT_LIMIT);
     
     println!("Connecting to external archive...");
     println!("  Expected directories:");
@@ -190,18 +198,20 @@ fn main() -> Result<()> {
     let received_count = AtomicUsize::new(0);
     let last_value = AtomicI64::new(-1);
     let first_value = AtomicI64::new(-1);
+    let last_position = AtomicI64::new(-1);
     
     struct ReplayHandler<'a> {
         received_count: &'a AtomicUsize,
         last_value: &'a AtomicI64,
         first_value: &'a AtomicI64,
+        last_position: &'a AtomicI64,
     }
     
     impl<'a> AeronFragmentHandlerCallback for ReplayHandler<'a> {
         fn handle_aeron_fragment_handler(
             &mut self,
             buffer: &[u8],
-            _header: AeronHeader,
+            header: AeronHeader,
         ) {
             if buffer.len() >= 8 {
                 let value = i64::from_le_bytes([
@@ -216,6 +226,7 @@ fn main() -> Result<()> {
                 }
                 
                 self.last_value.store(value, Ordering::Relaxed);
+                self.last_position.store(header.position(), Ordering::Relaxed);
                 
                 if (count + 1) % 100_000 == 0 {
                     print!(".");
@@ -229,16 +240,18 @@ fn main() -> Result<()> {
         received_count: &received_count,
         last_value: &last_value,
         first_value: &first_value,
+        last_position: &last_position,
     };
     
     let handler = Handler::leak(handler);
     
     let start_replay = std::time::Instant::now();
+    let mut last_fragment_at = start_replay;
     let mut empty_polls = 0;
     let mut last_progress = 0;
     
     while received_count.load(Ordering::Relaxed) < MESSAGE_COUNT as usize {
-        let fragments = replay_subscription.poll(Some(&handler), 100_000)?;
+        let fragments = replay_subscription.poll(Some(&handler), POLL_FRAGMENT_LIMIT)?;
         
         if fragments == 0 {
             empty_polls += 1;
@@ -247,7 +260,7 @@ fn main() -> Result<()> {
             if current > last_progress {
                 last_progress = current;
                 empty_polls = 0;
-            } else if empty_polls > 10_000 {
+            } else if empty_polls > MAX_EMPTY_POLLS {
                 println!("\n\nReplay stopped after {} empty polls", empty_polls);
                 break;
             }
@@ -255,6 +268,7 @@ fn main() -> Result<()> {
             std::thread::yield_now();
         } else {
             empty_polls = 0;
+            last_fragment_at = std::time::Instant::now();
         }
     }
     
@@ -264,6 +278,7 @@ fn main() -> Result<()> {
     let final_count = received_count.load(Ordering::Relaxed);
     let first = first_value.load(Ordering::Relaxed);
     let last = last_value.load(Ordering::Relaxed);
+    let stop_position = last_position.load(Ordering::Relaxed);
     
     println!("\n\n=== RESULTS ===");
     println!("Published: {} messages", published);
@@ -272,6 +287,8 @@ fn main() -> Result<()> {
     println!("Last value:  {} (expected {})", last, MESSAGE_COUNT - 1);
     println!("Publish time: {:?}", start.elapsed());
     println!("Replay time:  {:?}", start_replay.elapsed());
+    println!("Replay active time: {:?}", last_fragment_at.duration_since(start_replay));
+    println!("Stop position: {}", stop_position);
     
     let percentage = (final_count as f64 / published as f64) * 100.0;
     println!("\nREPLAY EFFICIENCY: {:.2}%", percentage);